@@ -0,0 +1,37 @@
+package me.shib.bugaudit;
+
+import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.tracker.BatIssue;
+import me.shib.bugaudit.tracker.BatSearchQuery;
+import me.shib.bugaudit.tracker.BugAuditTracker;
+
+import java.util.Collection;
+import java.util.List;
+
+// There is no local mirror of tracker issues: BatSearchQuery has no "updated since" condition to sync one with,
+// so every lookup is a live search and closure verification still lists all non-closed issues of the scan context
+final class BatIssueLookup {
+
+    private BatIssueLookup() {
+    }
+
+    static BatSearchQuery getContextQuery(BugAuditConfig config, String repo, String lang,
+                                          String bugAuditLabel, String tool) {
+        BatSearchQuery searchQuery = new BatSearchQuery(BatSearchQuery.Condition.type, BatSearchQuery.Operator.matching, config.getIssueType());
+        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, repo);
+        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, lang);
+        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, bugAuditLabel);
+        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, tool);
+        return searchQuery;
+    }
+
+    static List<BatIssue> search(BugAuditTracker tracker, BugAuditConfig config, String repo, String lang,
+                                 String bugAuditLabel, String tool, Collection<String> labels)
+            throws BugAuditException {
+        BatSearchQuery searchQuery = getContextQuery(config, repo, lang, bugAuditLabel, tool);
+        for (String label : labels) {
+            searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, label);
+        }
+        return tracker.searchBatIssues(config.getProject(), searchQuery);
+    }
+}
@@ -1,35 +1,87 @@
 package me.shib.bugaudit;
 
 import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.scanner.BugAuditScanResult;
 import me.shib.bugaudit.scanner.BugAuditScanner;
 import me.shib.bugaudit.scanner.GitRepo;
 import me.shib.bugaudit.scanner.Lang;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 public final class BugAudit {
 
     public static synchronized List<Exception> audit() throws BugAuditException, IOException, InterruptedException {
         List<Exception> exceptions = new ArrayList<>();
+        printChangelog(scan(null, exceptions));
+        printSuppressionReport();
+        return exceptions;
+    }
+
+    public static synchronized List<Exception> plan(File planFile) throws BugAuditException, IOException, InterruptedException {
+        List<Exception> exceptions = new ArrayList<>();
+        BugAuditPlan plan = new BugAuditPlan(planFile);
+        try {
+            scan(plan, exceptions);
+        } finally {
+            plan.close();
+        }
+        printSuppressionReport();
+        String summary = "\n[BUILD PLAN]" +
+                " Create(" + plan.getActionCount(BugAuditPlan.Action.Type.create) + ")" +
+                " Update(" + plan.getActionCount(BugAuditPlan.Action.Type.update) + ")" +
+                " Transition(" + plan.getActionCount(BugAuditPlan.Action.Type.transition) + ")" +
+                " Comment(" + plan.getActionCount(BugAuditPlan.Action.Type.comment) + ")" +
+                " written to " + planFile.getAbsolutePath();
+        System.out.println(summary);
+        return exceptions;
+    }
+
+    public static synchronized List<Exception> apply(File planFile) throws BugAuditException, IOException {
+        List<Exception> exceptions = new ArrayList<>();
+        List<BugAuditWorker.ProcessedCount> processedCounts = new ArrayList<>();
+        BugAuditPlan.Reader planReader = new BugAuditPlan.Reader(planFile);
+        try {
+            BugAuditPlan.ScanPlan scanPlan;
+            while ((scanPlan = planReader.next()) != null) {
+                try {
+                    BugAuditPlanWorker planWorker = new BugAuditPlanWorker(scanPlan);
+                    planWorker.applyPlan();
+                    processedCounts.add(planWorker.getProcessedCount());
+                    exceptions.addAll(planWorker.getExceptions());
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    exceptions.add(e);
+                }
+            }
+        } finally {
+            planReader.close();
+        }
+        printChangelog(processedCounts);
+        return exceptions;
+    }
+
+    private static List<BugAuditWorker.ProcessedCount> scan(BugAuditPlan plan, List<Exception> exceptions)
+            throws BugAuditException, IOException, InterruptedException {
         Lang lang = GitRepo.getRepo().getLang();
         if (lang == null) {
             System.out.println("Terminating as the programming language could not be identified.");
             System.exit(1);
         }
-        List<BugAuditScanner> scanners = BugAuditScanner.getScanners(lang);
+        Deque<BugAuditScanner> scanners = new ArrayDeque<>(BugAuditScanner.getScanners(lang));
         if (scanners.size() == 0) {
             System.out.println("No scanners available for " + lang);
             System.exit(1);
         }
         List<BugAuditWorker.ProcessedCount> processedCounts = new ArrayList<>();
         BugAuditScanner.buildProject();
-        for (BugAuditScanner scanner : scanners) {
+        while (!scanners.isEmpty()) {
             try {
-                System.out.println("Now running scanner: " + scanner.getTool());
-                scanner.scan();
-                BugAuditWorker bugAuditWorker = new BugAuditWorker(scanner.getBugAuditScanResult());
+                BugAuditWorker bugAuditWorker = new BugAuditWorker(runScanner(scanners.poll()), plan);
                 bugAuditWorker.processResult();
                 processedCounts.add(bugAuditWorker.getProcessedCount());
                 exceptions.addAll(bugAuditWorker.getExceptions());
@@ -38,8 +90,30 @@ public final class BugAudit {
                 exceptions.add(e);
             }
         }
-        printChangelog(processedCounts);
-        return exceptions;
+        return processedCounts;
+    }
+
+    private static BugAuditScanResult runScanner(BugAuditScanner scanner) throws Exception {
+        System.out.println("Now running scanner: " + scanner.getTool());
+        scanner.scan();
+        return scanner.getBugAuditScanResult();
+    }
+
+    private static void printSuppressionReport() {
+        BugAuditSuppressions suppressions;
+        try {
+            suppressions = BugAuditConfig.getConfig().getSuppressions();
+        } catch (BugAuditException | IOException e) {
+            return;
+        }
+        if (suppressions == null) {
+            return;
+        }
+        StringBuilder report = new StringBuilder("\n[SUPPRESSIONS]");
+        for (BugAuditSuppressions.Rule rule : suppressions.getRules()) {
+            report.append("\n").append(rule).append(" Hits(").append(rule.getHits()).append(")");
+        }
+        System.out.println(report.toString());
     }
 
     private static void printChangelog(List<BugAuditWorker.ProcessedCount> processedCounts) {
@@ -1,7 +1,7 @@
 package me.shib.bugaudit;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import me.shib.bugaudit.commons.BugAuditContent;
 import me.shib.bugaudit.commons.BugAuditException;
 import me.shib.bugaudit.tracker.BatComment;
@@ -27,7 +27,7 @@ final class BugAuditConfig {
     private static transient final String batIssueTypeEnv = "BUGAUDIT_ISSUETYPE";
     private static transient final String batAssigneeEnv = "BUGAUDIT_ASSIGNEE";
     private static transient final String batSubscribersEnv = "BUGAUDIT_SUBSCRIBERS";
-    private static transient final Gson gson = new GsonBuilder().create();
+    private static transient final int defaultTrackerConcurrency = 1;
 
     private static transient BugAuditConfig config;
 
@@ -49,6 +49,10 @@ final class BugAuditConfig {
     private List<String> ignorableStatuses;
     private UpdateActions toOpen;
     private UpdateActions toClose;
+    // Values above 1 issue tracker calls from parallel threads and need a thread-safe BugAuditTracker
+    private int trackerConcurrency;
+    private String suppressionFile;
+    private transient BugAuditSuppressions suppressions;
 
     private static String readFromFile(File file) throws IOException {
         if (!file.exists() || file.isDirectory()) {
@@ -78,35 +82,241 @@ final class BugAuditConfig {
         return result.toString();
     }
 
+    private static String readFromURI(String uri) throws IOException {
+        if (uri.trim().toLowerCase().startsWith("http://") ||
+                uri.trim().toLowerCase().startsWith("https://")) {
+            return getConfigFromURL(uri);
+        }
+        return readFromFile(new File(uri));
+    }
+
     static synchronized BugAuditConfig getConfig() throws BugAuditException, IOException {
         if (config == null) {
             String configJson = null;
             String configURI = System.getenv(bugauditConfigEnv);
             if (configURI != null && !configURI.isEmpty()) {
-                if (configURI.trim().toLowerCase().startsWith("http://") ||
-                        configURI.trim().toLowerCase().startsWith("https://")) {
-                    configJson = getConfigFromURL(configURI);
-                } else {
-                    configJson = readFromFile(new File(configURI));
-                }
+                configJson = readFromURI(configURI);
             }
             if (configJson == null || configJson.isEmpty()) {
                 throw new BugAuditException("Please provide a valid config file or URL through " +
                         bugauditConfigEnv + " environment variable.");
             }
-            config = gson.fromJson(configJson, BugAuditConfig.class);
+            config = fromJson(configJson);
             config.validate();
         }
         return config;
     }
 
+    static BugAuditConfig fromJson(String configJson) throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(configJson));
+        reader.setLenient(true);
+        try {
+            BugAuditConfig config = new BugAuditConfig();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "project":
+                        config.project = nextString(reader);
+                        break;
+                    case "issueType":
+                        config.issueType = nextString(reader);
+                        break;
+                    case "summaryUpdateAllowed":
+                        config.summaryUpdateAllowed = nextBoolean(reader);
+                        break;
+                    case "descriptionUpdateAllowed":
+                        config.descriptionUpdateAllowed = nextBoolean(reader);
+                        break;
+                    case "labelUpdateAllowed":
+                        config.labelUpdateAllowed = nextBoolean(reader);
+                        break;
+                    case "reprioritizeAllowed":
+                        config.reprioritizeAllowed = nextBoolean(reader);
+                        break;
+                    case "deprioritizeAllowed":
+                        config.deprioritizeAllowed = nextBoolean(reader);
+                        break;
+                    case "priorityMap":
+                        config.priorityMap = new LinkedHashMap<>();
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            config.priorityMap.put(reader.nextName(), reader.nextInt());
+                        }
+                        reader.endObject();
+                        break;
+                    case "customFields":
+                        config.customFields = readObject(reader);
+                        break;
+                    case "users":
+                        config.users = config.readUsers(reader);
+                        break;
+                    case "transitions":
+                        config.transitions = new HashMap<>();
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            config.transitions.put(reader.nextName(), readStringList(reader));
+                        }
+                        reader.endObject();
+                        break;
+                    case "openStatuses":
+                        config.openStatuses = readStringList(reader);
+                        break;
+                    case "resolvedStatuses":
+                        config.resolvedStatuses = readStringList(reader);
+                        break;
+                    case "closedStatuses":
+                        config.closedStatuses = readStringList(reader);
+                        break;
+                    case "ignorableLabels":
+                        config.ignorableLabels = readStringList(reader);
+                        break;
+                    case "ignorableStatuses":
+                        config.ignorableStatuses = readStringList(reader);
+                        break;
+                    case "toOpen":
+                        config.toOpen = config.readUpdateActions(reader);
+                        break;
+                    case "toClose":
+                        config.toClose = config.readUpdateActions(reader);
+                        break;
+                    case "trackerConcurrency":
+                        config.trackerConcurrency = reader.nextInt();
+                        break;
+                    case "suppressionFile":
+                        config.suppressionFile = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return config;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    private static boolean nextBoolean(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+        return reader.nextBoolean();
+    }
+
+    private static List<String> readStringList(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(nextString(reader));
+        }
+        reader.endArray();
+        return list;
+    }
+
+    private static Map<String, Object> readObject(JsonReader reader) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            map.put(reader.nextName(), readValue(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static Object readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(reader);
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(reader));
+                }
+                reader.endArray();
+                return list;
+            case NUMBER:
+                return reader.nextDouble();
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                return reader.nextString();
+        }
+    }
+
+    private Users readUsers(JsonReader reader) throws IOException {
+        String assignee = null;
+        List<String> subscribers = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if (name.equals("assignee")) {
+                assignee = nextString(reader);
+            } else if (name.equals("subscribers")) {
+                subscribers = readStringList(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Users(assignee, subscribers);
+    }
+
+    private UpdateActions readUpdateActions(JsonReader reader) throws IOException {
+        boolean statusTransferable = false;
+        boolean commentable = false;
+        int commentInterval = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if (name.equals("statusTransferable")) {
+                statusTransferable = nextBoolean(reader);
+            } else if (name.equals("commentable")) {
+                commentable = nextBoolean(reader);
+            } else if (name.equals("commentInterval")) {
+                commentInterval = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new UpdateActions(statusTransferable, commentable, commentInterval);
+    }
+
     private void nullValidation(Object object, String name) throws BugAuditException {
         if (object == null) {
             throw new BugAuditException(name + " is mandatory and can't be null");
         }
     }
 
-    private void validate() throws BugAuditException {
+    private void validate() throws BugAuditException, IOException {
         if (project == null || project.isEmpty()) {
             project = System.getenv(batProjectEnv);
         }
@@ -145,6 +355,16 @@ final class BugAuditConfig {
             toClose = new UpdateActions(true, true, UpdateActions.defaultCommentInterval);
         }
         toClose.validate();
+        if (trackerConcurrency < 1) {
+            trackerConcurrency = defaultTrackerConcurrency;
+        }
+        if (suppressionFile != null && !suppressionFile.isEmpty()) {
+            String suppressionsJson = readFromURI(suppressionFile);
+            if (suppressionsJson.isEmpty()) {
+                throw new BugAuditException("Unable to read suppressions from " + suppressionFile);
+            }
+            suppressions = BugAuditSuppressions.fromJson(suppressionsJson);
+        }
         if (closedStatuses.size() == 0) {
             if (!toClose.commentable || !toClose.statusTransferable) {
                 throw new BugAuditException("Expecting at least one valid Close statuses in config");
@@ -300,6 +520,14 @@ final class BugAuditConfig {
         return customFields;
     }
 
+    int getTrackerConcurrency() {
+        return trackerConcurrency;
+    }
+
+    BugAuditSuppressions getSuppressions() {
+        return suppressions;
+    }
+
     class Users {
         private String assignee;
         private List<String> subscribers;
@@ -313,6 +541,11 @@ final class BugAuditConfig {
             }
         }
 
+        private Users(String assignee, List<String> subscribers) {
+            this.assignee = assignee;
+            this.subscribers = subscribers;
+        }
+
         String getAssignee() {
             return assignee;
         }
@@ -0,0 +1,464 @@
+package me.shib.bugaudit;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.shib.bugaudit.commons.BugAuditContent;
+import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.tracker.BatIssue;
+import me.shib.bugaudit.tracker.BatIssueFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+final class BugAuditPlan {
+
+    private JsonWriter writer;
+    private Map<Action.Type, Integer> actionCounts;
+
+    BugAuditPlan(File planFile) throws IOException {
+        this.writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(planFile), StandardCharsets.UTF_8)));
+        this.actionCounts = new EnumMap<>(Action.Type.class);
+        writer.setIndent("  ");
+        writer.beginObject();
+        writer.name("scans").beginArray();
+    }
+
+    synchronized ScanPlan beginScanPlan(String tool, String lang, String repo, String bugAuditLabel,
+                                        Collection<String> keys) throws IOException {
+        ScanPlan scanPlan = new ScanPlan();
+        scanPlan.plan = this;
+        scanPlan.tool = tool;
+        scanPlan.lang = lang;
+        scanPlan.repo = repo;
+        scanPlan.bugAuditLabel = bugAuditLabel;
+        scanPlan.keys = new ArrayList<>(keys);
+        scanPlan.writeHeader(writer);
+        return scanPlan;
+    }
+
+    private synchronized void write(Action action) throws IOException {
+        action.write(writer);
+        Integer count = actionCounts.get(action.type);
+        actionCounts.put(action.type, count == null ? 1 : count + 1);
+    }
+
+    synchronized void endScanPlan() throws IOException {
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    synchronized void close() throws IOException {
+        try {
+            writer.endArray();
+            writer.endObject();
+        } finally {
+            writer.close();
+        }
+    }
+
+    synchronized int getActionCount(Action.Type type) {
+        Integer count = actionCounts.get(type);
+        return count == null ? 0 : count;
+    }
+
+    private static void writeStringList(JsonWriter writer, String name, List<String> list) throws IOException {
+        if (list != null) {
+            writer.name(name).beginArray();
+            for (String item : list) {
+                writer.value(item);
+            }
+            writer.endArray();
+        }
+    }
+
+    private static List<String> readStringList(JsonReader reader) throws IOException {
+        List<String> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(reader.nextString());
+        }
+        reader.endArray();
+        return list;
+    }
+
+    static final class Reader {
+
+        private JsonReader reader;
+
+        Reader(File planFile) throws IOException {
+            this.reader = new JsonReader(new BufferedReader(
+                    new InputStreamReader(new FileInputStream(planFile), StandardCharsets.UTF_8)));
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("scans")) {
+                    reader.beginArray();
+                    return;
+                }
+                reader.skipValue();
+            }
+            reader.endObject();
+            reader.close();
+            this.reader = null;
+        }
+
+        ScanPlan next() throws IOException {
+            if (reader == null || !reader.hasNext()) {
+                return null;
+            }
+            return ScanPlan.read(reader);
+        }
+
+        void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    static final class ScanPlan {
+
+        private BugAuditPlan plan;
+        private String tool;
+        private String lang;
+        private String repo;
+        private String bugAuditLabel;
+        private List<String> keys;
+        private List<Action> actions;
+
+        private ScanPlan() {
+            this.keys = new ArrayList<>();
+            this.actions = new ArrayList<>();
+        }
+
+        private static ScanPlan read(JsonReader reader) throws IOException {
+            ScanPlan scanPlan = new ScanPlan();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "tool":
+                        scanPlan.tool = reader.nextString();
+                        break;
+                    case "lang":
+                        scanPlan.lang = reader.nextString();
+                        break;
+                    case "repo":
+                        scanPlan.repo = reader.nextString();
+                        break;
+                    case "bugAuditLabel":
+                        scanPlan.bugAuditLabel = reader.nextString();
+                        break;
+                    case "keys":
+                        scanPlan.keys = readStringList(reader);
+                        break;
+                    case "actions":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            scanPlan.actions.add(Action.read(reader));
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return scanPlan;
+        }
+
+        private void writeHeader(JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("tool").value(tool);
+            writer.name("lang").value(lang);
+            writer.name("repo").value(repo);
+            writer.name("bugAuditLabel").value(bugAuditLabel);
+            writeStringList(writer, "keys", keys);
+            writer.name("actions").beginArray();
+        }
+
+        void add(Action action) throws BugAuditException {
+            try {
+                plan.write(action);
+            } catch (IOException e) {
+                throw new BugAuditException("Unable to write the planned " + action.type + " action: "
+                        + e.getMessage());
+            }
+        }
+
+        String getTool() {
+            return tool;
+        }
+
+        String getLang() {
+            return lang;
+        }
+
+        String getRepo() {
+            return repo;
+        }
+
+        String getBugAuditLabel() {
+            return bugAuditLabel;
+        }
+
+        List<String> getKeys() {
+            return keys;
+        }
+
+        List<Action> getActions() {
+            return actions;
+        }
+    }
+
+    static final class Action {
+
+        private Type type;
+        private String issueKey;
+        private List<String> keys;
+        private String title;
+        private BugAuditContent description;
+        private Integer priority;
+        private List<String> labels;
+        private String assignee;
+        private List<String> subscribers;
+        private List<String> statuses;
+        private String comment;
+        private String expectedStatus;
+        private List<String> expectedLabels;
+        private Integer expectedCommentCount;
+
+        private Action(Type type, String issueKey, Collection<String> keys) {
+            this.type = type;
+            this.issueKey = issueKey;
+            if (keys != null) {
+                this.keys = new ArrayList<>(keys);
+            }
+        }
+
+        private Action(Type type, BatIssue batIssue, Collection<String> keys) {
+            this(type, batIssue.getKey(), keys);
+            this.expectedStatus = batIssue.getStatus();
+            this.expectedLabels = new ArrayList<>(batIssue.getLabels());
+        }
+
+        static Action create(Collection<String> keys) {
+            return new Action(Type.create, (String) null, keys);
+        }
+
+        static Action update(BatIssue batIssue, Collection<String> keys) {
+            return new Action(Type.update, batIssue, keys);
+        }
+
+        static Action transition(BatIssue batIssue, List<String> statuses, Collection<String> keys) {
+            Action action = new Action(Type.transition, batIssue, keys);
+            action.statuses = statuses;
+            return action;
+        }
+
+        static Action comment(BatIssue batIssue, String comment, int commentCount, Collection<String> keys) {
+            Action action = new Action(Type.comment, batIssue, keys);
+            action.comment = comment;
+            action.expectedCommentCount = commentCount;
+            return action;
+        }
+
+        private static Action read(JsonReader reader) throws IOException {
+            Action action = new Action(null, (String) null, null);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "type":
+                        action.type = Type.valueOf(reader.nextString());
+                        break;
+                    case "issueKey":
+                        action.issueKey = reader.nextString();
+                        break;
+                    case "keys":
+                        action.keys = readStringList(reader);
+                        break;
+                    case "title":
+                        action.title = reader.nextString();
+                        break;
+                    case "description":
+                        action.description = new BugAuditContent(reader.nextString());
+                        break;
+                    case "priority":
+                        action.priority = reader.nextInt();
+                        break;
+                    case "labels":
+                        action.labels = readStringList(reader);
+                        break;
+                    case "assignee":
+                        action.assignee = reader.nextString();
+                        break;
+                    case "subscribers":
+                        action.subscribers = readStringList(reader);
+                        break;
+                    case "statuses":
+                        action.statuses = readStringList(reader);
+                        break;
+                    case "comment":
+                        action.comment = reader.nextString();
+                        break;
+                    case "expectedStatus":
+                        action.expectedStatus = reader.nextString();
+                        break;
+                    case "expectedLabels":
+                        action.expectedLabels = readStringList(reader);
+                        break;
+                    case "expectedCommentCount":
+                        action.expectedCommentCount = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return action;
+        }
+
+        private void write(JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("type").value(type.toString());
+            if (issueKey != null) {
+                writer.name("issueKey").value(issueKey);
+            }
+            writeStringList(writer, "keys", keys);
+            if (title != null) {
+                writer.name("title").value(title);
+            }
+            if (description != null) {
+                writer.name("description").value(description.getMarkdownContent());
+            }
+            if (priority != null) {
+                writer.name("priority").value(priority);
+            }
+            writeStringList(writer, "labels", labels);
+            if (assignee != null) {
+                writer.name("assignee").value(assignee);
+            }
+            writeStringList(writer, "subscribers", subscribers);
+            writeStringList(writer, "statuses", statuses);
+            if (comment != null) {
+                writer.name("comment").value(comment);
+            }
+            if (expectedStatus != null) {
+                writer.name("expectedStatus").value(expectedStatus);
+            }
+            writeStringList(writer, "expectedLabels", expectedLabels);
+            if (expectedCommentCount != null) {
+                writer.name("expectedCommentCount").value(expectedCommentCount);
+            }
+            writer.endObject();
+        }
+
+        BatIssueFactory toBatIssueFactory(BugAuditConfig config) {
+            BatIssueFactory batIssueFactory = new BatIssueFactory();
+            batIssueFactory.setProject(config.getProject());
+            if (type == Type.create) {
+                batIssueFactory.setTitle(title);
+                batIssueFactory.setIssueType(config.getIssueType());
+                batIssueFactory.setAssignee(assignee);
+                batIssueFactory.setSubscribers(subscribers);
+                batIssueFactory.setPriority(priority);
+                batIssueFactory.setDescription(description);
+                batIssueFactory.setLabels(labels);
+                batIssueFactory.setCustomFields(config.getCustomFields());
+                return batIssueFactory;
+            }
+            if (assignee != null) {
+                batIssueFactory.setAssignee(assignee);
+            }
+            if (title != null) {
+                batIssueFactory.setTitle(title);
+            }
+            if (description != null) {
+                batIssueFactory.setDescription(description);
+            }
+            if (labels != null) {
+                batIssueFactory.setLabels(labels);
+            }
+            if (priority != null) {
+                batIssueFactory.setPriority(priority);
+            }
+            return batIssueFactory;
+        }
+
+        Type getType() {
+            return type;
+        }
+
+        String getIssueKey() {
+            return issueKey;
+        }
+
+        List<String> getKeys() {
+            return keys;
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        List<String> getStatuses() {
+            return statuses;
+        }
+
+        String getComment() {
+            return comment;
+        }
+
+        String getExpectedStatus() {
+            return expectedStatus;
+        }
+
+        List<String> getExpectedLabels() {
+            return expectedLabels;
+        }
+
+        Integer getExpectedCommentCount() {
+            return expectedCommentCount;
+        }
+
+        void setTitle(String title) {
+            this.title = title;
+        }
+
+        void setDescription(BugAuditContent description) {
+            this.description = description;
+        }
+
+        void setPriority(int priority) {
+            this.priority = priority;
+        }
+
+        void setLabels(List<String> labels) {
+            this.labels = labels;
+        }
+
+        void setAssignee(String assignee) {
+            this.assignee = assignee;
+        }
+
+        void setSubscribers(List<String> subscribers) {
+            this.subscribers = subscribers;
+        }
+
+        enum Type {
+            create, update, transition, comment
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package me.shib.bugaudit;
+
+import me.shib.bugaudit.commons.BugAuditContent;
+import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.tracker.BatIssue;
+import me.shib.bugaudit.tracker.BugAuditTracker;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+final class BugAuditPlanWorker {
+
+    private List<Exception> exceptions;
+
+    private BugAuditConfig config;
+    private BugAuditTracker tracker;
+    private BugAuditPlan.ScanPlan scanPlan;
+
+    BugAuditPlanWorker(BugAuditPlan.ScanPlan scanPlan) throws BugAuditException, IOException {
+        this.exceptions = Collections.synchronizedList(new ArrayList<Exception>());
+        this.scanPlan = scanPlan;
+        this.config = BugAuditConfig.getConfig();
+        this.tracker = BugAuditWorker.getContextTracker(config, scanPlan.getKeys(), scanPlan.getLang(),
+                scanPlan.getTool(), scanPlan.getRepo());
+    }
+
+    private static Set<String> toLowerCaseSet(Collection<String> values) {
+        Set<String> lowerCaseSet = new HashSet<>();
+        for (String value : values) {
+            lowerCaseSet.add(value.toLowerCase());
+        }
+        return lowerCaseSet;
+    }
+
+    private String getChangedState(BatIssue batIssue, BugAuditPlan.Action action) {
+        if (action.getExpectedStatus() != null && !action.getExpectedStatus().equalsIgnoreCase(batIssue.getStatus())) {
+            return "status changed from \"" + action.getExpectedStatus() + "\" to \"" + batIssue.getStatus() + "\"";
+        }
+        if (action.getExpectedLabels() != null &&
+                !toLowerCaseSet(action.getExpectedLabels()).equals(toLowerCaseSet(batIssue.getLabels()))) {
+            return "labels changed from " + action.getExpectedLabels() + " to " + batIssue.getLabels();
+        }
+        return null;
+    }
+
+    private List<BatIssue> searchPlannedKeys(List<String> keys) throws BugAuditException {
+        return BatIssueLookup.search(tracker, config, scanPlan.getRepo(), scanPlan.getLang(),
+                scanPlan.getBugAuditLabel(), scanPlan.getTool(), keys);
+    }
+
+    private void applyCreate(BugAuditPlan.Action action) throws BugAuditException {
+        if (action.getKeys() == null) {
+            throw new BugAuditException("Planned issue has no recorded keys: " + action.getTitle());
+        }
+        List<BatIssue> batIssues = searchPlannedKeys(action.getKeys());
+        if (batIssues.size() > 0) {
+            String message = "Skipped planned creation of \"" + action.getTitle() + "\" as "
+                    + batIssues.get(0).getKey() + " already matches its keys " + action.getKeys()
+                    + " since the plan was made.";
+            System.out.println(message);
+            exceptions.add(new BugAuditException(message));
+            return;
+        }
+        applyAction(null, action);
+    }
+
+    private void applyActions(BatIssue batIssue, List<BugAuditPlan.Action> actions) throws BugAuditException {
+        for (BugAuditPlan.Action action : actions) {
+            String changedState = getChangedState(batIssue, action);
+            if (changedState != null) {
+                String message = "Skipped " + actions.size() + " planned action(s) for "
+                        + batIssue.getKey() + " as its " + changedState + " since the plan was made.";
+                System.out.println(message);
+                exceptions.add(new BugAuditException(message));
+                return;
+            }
+        }
+        int commentsAdded = 0;
+        for (BugAuditPlan.Action action : actions) {
+            if (action.getExpectedCommentCount() != null) {
+                batIssue.refresh();
+                int commentCount = batIssue.getComments().size();
+                if (commentCount != action.getExpectedCommentCount() + commentsAdded) {
+                    String message = "Skipped planned comment for " + batIssue.getKey() + " as it has "
+                            + commentCount + " comment(s) instead of the "
+                            + (action.getExpectedCommentCount() + commentsAdded) + " seen when the plan was made.";
+                    System.out.println(message);
+                    exceptions.add(new BugAuditException(message));
+                    continue;
+                }
+                commentsAdded++;
+            }
+            applyAction(batIssue, action);
+        }
+    }
+
+    private void applyAction(BatIssue batIssue, BugAuditPlan.Action action) throws BugAuditException {
+        switch (action.getType()) {
+            case create:
+                BatIssue created = tracker.createIssue(action.toBatIssueFactory(config));
+                System.out.println("Created new issue: " + created.getKey() + " - " + created.getTitle());
+                break;
+            case update:
+                tracker.updateIssue(batIssue, action.toBatIssueFactory(config));
+                System.out.println("Updated the issue: " + batIssue.getKey());
+                break;
+            case transition:
+                BugAuditWorker.transitionIssue(tracker, batIssue, action.getStatuses());
+                System.out.println("Transitioned the issue " + batIssue.getKey() + " to "
+                        + action.getStatuses().get(action.getStatuses().size() - 1));
+                break;
+            case comment:
+                batIssue.addComment(new BugAuditContent(action.getComment()));
+                System.out.println("Commented on the issue: " + batIssue.getKey());
+                break;
+        }
+    }
+
+    private Callable<Void> getCreateTask(final BugAuditPlan.Action action) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws BugAuditException {
+                applyCreate(action);
+                return null;
+            }
+        };
+    }
+
+    private Callable<Void> getTask(final BatIssue batIssue, final List<BugAuditPlan.Action> actions) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws BugAuditException {
+                applyActions(batIssue, actions);
+                return null;
+            }
+        };
+    }
+
+    private BatIssue getPlannedIssue(String issueKey, List<BugAuditPlan.Action> actions) throws BugAuditException {
+        List<String> keys = actions.get(0).getKeys();
+        if (keys == null) {
+            throw new BugAuditException("Planned issue has no recorded keys: " + issueKey);
+        }
+        for (BatIssue batIssue : searchPlannedKeys(keys)) {
+            if (batIssue.getKey().equals(issueKey)) {
+                return batIssue;
+            }
+        }
+        return null;
+    }
+
+    void applyPlan() throws BugAuditException {
+        System.out.println("Applying planned actions (" + scanPlan.getTool() + "): " + scanPlan.getActions().size());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        Map<String, List<BugAuditPlan.Action>> actionsByIssue = new LinkedHashMap<>();
+        for (BugAuditPlan.Action action : scanPlan.getActions()) {
+            if (action.getType() == BugAuditPlan.Action.Type.create) {
+                tasks.add(getCreateTask(action));
+            } else {
+                List<BugAuditPlan.Action> actions = actionsByIssue.get(action.getIssueKey());
+                if (actions == null) {
+                    actions = new ArrayList<>();
+                    actionsByIssue.put(action.getIssueKey(), actions);
+                }
+                actions.add(action);
+            }
+        }
+        for (Map.Entry<String, List<BugAuditPlan.Action>> entry : actionsByIssue.entrySet()) {
+            BatIssue batIssue;
+            try {
+                batIssue = getPlannedIssue(entry.getKey(), entry.getValue());
+            } catch (BugAuditException e) {
+                e.printStackTrace();
+                exceptions.add(e);
+                continue;
+            }
+            if (batIssue == null) {
+                exceptions.add(new BugAuditException("Planned issue not found in tracker: " + entry.getKey()));
+            } else {
+                tasks.add(getTask(batIssue, entry.getValue()));
+            }
+        }
+        if (config.getTrackerConcurrency() == 1) {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    exceptions.add(e);
+                }
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(config.getTrackerConcurrency());
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    exceptions.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exceptions.add(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    BugAuditWorker.ProcessedCount getProcessedCount() {
+        return new BugAuditWorker.ProcessedCount(tracker.getCreatedIssues().size(),
+                tracker.getUpdatedIssues().size(), tracker.getCommentedIssues().size());
+    }
+
+    List<Exception> getExceptions() {
+        return exceptions;
+    }
+}
@@ -0,0 +1,343 @@
+package me.shib.bugaudit;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.scanner.Bug;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+final class BugAuditSuppressions {
+
+    private List<Rule> rules;
+    private Map<Field, FieldMatcher> fieldMatchers;
+
+    private BugAuditSuppressions(List<Rule> rules) throws BugAuditException {
+        this.rules = rules;
+        this.fieldMatchers = new EnumMap<>(Field.class);
+        for (Rule rule : rules) {
+            FieldMatcher fieldMatcher = fieldMatchers.get(rule.field);
+            if (fieldMatcher == null) {
+                fieldMatcher = new FieldMatcher();
+                fieldMatchers.put(rule.field, fieldMatcher);
+            }
+            fieldMatcher.add(rule);
+        }
+        for (FieldMatcher fieldMatcher : fieldMatchers.values()) {
+            fieldMatcher.compile();
+        }
+    }
+
+    static BugAuditSuppressions fromJson(String suppressionsJson) throws IOException, BugAuditException {
+        List<Rule> rules = new ArrayList<>();
+        JsonReader reader = new JsonReader(new StringReader(suppressionsJson));
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                rules.add(readRule(reader));
+            }
+            reader.endArray();
+        } finally {
+            reader.close();
+        }
+        return new BugAuditSuppressions(rules);
+    }
+
+    private static Rule readRule(JsonReader reader) throws IOException, BugAuditException {
+        String field = null;
+        String glob = null;
+        String regex = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if (name.equals("field")) {
+                field = reader.nextString();
+            } else if (name.equals("glob")) {
+                glob = reader.nextString();
+            } else if (name.equals("regex")) {
+                regex = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (field == null) {
+            throw new BugAuditException("Suppression rule is missing the field to match");
+        }
+        if ((glob == null) == (regex == null)) {
+            throw new BugAuditException("Suppression rule for " + field + " needs exactly one of glob or regex");
+        }
+        try {
+            return new Rule(Field.valueOf(field.toLowerCase()), glob != null, glob != null ? glob : regex);
+        } catch (IllegalArgumentException e) {
+            throw new BugAuditException("Unknown suppression field: " + field + ", expecting one of "
+                    + Arrays.toString(Field.values()));
+        }
+    }
+
+    private Rule match(Field field, String value) {
+        FieldMatcher fieldMatcher = fieldMatchers.get(field);
+        if (fieldMatcher == null || value == null) {
+            return null;
+        }
+        return fieldMatcher.match(value);
+    }
+
+    private Rule match(Field field, Collection<String> values) {
+        if (fieldMatchers.get(field) != null && values != null) {
+            for (String value : values) {
+                Rule rule = match(field, value);
+                if (rule != null) {
+                    return rule;
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean isSuppressed(Bug bug, String tool, String repo, String lang) {
+        Rule rule = match(Field.tool, tool);
+        if (rule == null) {
+            rule = match(Field.repo, repo);
+        }
+        if (rule == null) {
+            rule = match(Field.lang, lang);
+        }
+        if (rule == null) {
+            rule = match(Field.key, bug.getKeys());
+        }
+        if (rule == null) {
+            rule = match(Field.tag, bug.getTags());
+        }
+        if (rule == null) {
+            return false;
+        }
+        rule.hits.incrementAndGet();
+        return true;
+    }
+
+    List<Rule> getRules() {
+        return rules;
+    }
+
+    enum Field {
+        key, tag, tool, repo, lang
+    }
+
+    static final class Rule {
+
+        private Field field;
+        private boolean glob;
+        private String pattern;
+        private AtomicInteger hits;
+
+        private Rule(Field field, boolean glob, String pattern) {
+            this.field = field;
+            this.glob = glob;
+            this.pattern = pattern;
+            this.hits = new AtomicInteger();
+        }
+
+        private String getPrefix() {
+            if (!glob || pattern.indexOf('?') >= 0) {
+                return null;
+            }
+            int wildcardIndex = pattern.indexOf('*');
+            if (wildcardIndex < 0) {
+                return pattern;
+            }
+            if (wildcardIndex == pattern.length() - 1) {
+                return pattern.substring(0, wildcardIndex);
+            }
+            return null;
+        }
+
+        private boolean needsOwnPattern() {
+            if (glob) {
+                return false;
+            }
+            for (int i = 0; i < pattern.length() - 1; i++) {
+                char c = pattern.charAt(i);
+                char next = pattern.charAt(i + 1);
+                if (c == '\\') {
+                    if (next == 'Q') {
+                        int quoteEnd = pattern.indexOf("\\E", i + 2);
+                        if (quoteEnd < 0) {
+                            return true;
+                        }
+                        i = quoteEnd + 1;
+                    } else if (next == 'k' || (next >= '1' && next <= '9')) {
+                        return true;
+                    } else {
+                        i++;
+                    }
+                } else if (c == '(' && pattern.startsWith("?<", i + 1) && i + 3 < pattern.length()
+                        && Character.isLetter(pattern.charAt(i + 3))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Pattern compile() throws BugAuditException {
+            try {
+                return Pattern.compile(toRegex(), Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                throw new BugAuditException("Invalid suppression rule (" + this + "): " + e.getDescription()
+                        + " near index " + e.getIndex());
+            }
+        }
+
+        private boolean isExact() {
+            return glob && pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0;
+        }
+
+        private String toRegex() {
+            if (!glob) {
+                return pattern;
+            }
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : pattern.toCharArray()) {
+                if (c == '*' || c == '?') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return regex.toString();
+        }
+
+        int getHits() {
+            return hits.get();
+        }
+
+        @Override
+        public String toString() {
+            return field + (glob ? " glob " : " regex ") + pattern;
+        }
+    }
+
+    private static final class TrieNode {
+        private Map<Character, TrieNode> children = new HashMap<>();
+        private Rule exactRule;
+        private Rule prefixRule;
+    }
+
+    private static final class FieldMatcher {
+
+        private TrieNode root;
+        private List<Rule> patternRules;
+        private Pattern combinedPattern;
+        private List<Rule> standaloneRules;
+        private List<Pattern> standalonePatterns;
+
+        private FieldMatcher() {
+            this.root = new TrieNode();
+            this.patternRules = new ArrayList<>();
+            this.standaloneRules = new ArrayList<>();
+            this.standalonePatterns = new ArrayList<>();
+        }
+
+        private void add(Rule rule) {
+            String prefix = rule.getPrefix();
+            if (prefix == null) {
+                if (rule.needsOwnPattern()) {
+                    standaloneRules.add(rule);
+                } else {
+                    patternRules.add(rule);
+                }
+                return;
+            }
+            TrieNode node = root;
+            for (char c : prefix.toLowerCase().toCharArray()) {
+                TrieNode child = node.children.get(c);
+                if (child == null) {
+                    child = new TrieNode();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            if (rule.isExact()) {
+                if (node.exactRule == null) {
+                    node.exactRule = rule;
+                }
+            } else if (node.prefixRule == null) {
+                node.prefixRule = rule;
+            }
+        }
+
+        private void compile() throws BugAuditException {
+            for (Rule rule : standaloneRules) {
+                standalonePatterns.add(rule.compile());
+            }
+            if (patternRules.isEmpty()) {
+                return;
+            }
+            List<Pattern> patterns = new ArrayList<>();
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < patternRules.size(); i++) {
+                patterns.add(patternRules.get(i).compile());
+                if (i > 0) {
+                    regex.append("|");
+                }
+                regex.append("(?<r").append(i).append(">").append(patternRules.get(i).toRegex()).append(")");
+            }
+            try {
+                combinedPattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                standaloneRules.addAll(0, patternRules);
+                standalonePatterns.addAll(0, patterns);
+                patternRules.clear();
+            }
+        }
+
+        private Rule match(String value) {
+            TrieNode node = root;
+            String lowerCaseValue = value.toLowerCase();
+            for (int i = 0; node != null; i++) {
+                if (node.prefixRule != null) {
+                    return node.prefixRule;
+                }
+                if (i == lowerCaseValue.length()) {
+                    if (node.exactRule != null) {
+                        return node.exactRule;
+                    }
+                    break;
+                }
+                node = node.children.get(lowerCaseValue.charAt(i));
+            }
+            if (combinedPattern != null) {
+                Matcher matcher = combinedPattern.matcher(value);
+                if (matcher.matches()) {
+                    for (int i = 0; i < patternRules.size(); i++) {
+                        if (matcher.group("r" + i) != null) {
+                            return patternRules.get(i);
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < standalonePatterns.size(); i++) {
+                if (standalonePatterns.get(i).matcher(value).matches()) {
+                    return standaloneRules.get(i);
+                }
+            }
+            return null;
+        }
+    }
+}
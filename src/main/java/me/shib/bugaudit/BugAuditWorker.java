@@ -11,6 +11,7 @@ import me.shib.bugaudit.tracker.BugAuditTracker;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 final class BugAuditWorker {
 
@@ -18,48 +19,111 @@ final class BugAuditWorker {
 
     private BugAuditConfig config;
     private BugAuditTracker tracker;
-    private BugAuditScanResult scanResult;
+    private String tool;
+    private String lang;
+    private String repo;
+    private String bugAuditLabel;
+    private List<String> keys;
+    private int identifiedCount;
+    private int suppressedCount;
+    private Deque<CompactBug> pendingBugs;
+    private BugKeyIndex bugKeyIndex;
+    private BugAuditPlan plan;
+    private BugAuditPlan.ScanPlan scanPlan;
 
-    BugAuditWorker(BugAuditScanResult scanResult) throws BugAuditException, IOException {
-        this.exceptions = new ArrayList<>();
-        this.scanResult = scanResult;
+    BugAuditWorker(BugAuditScanResult scanResult, BugAuditPlan plan) throws BugAuditException, IOException {
+        this.exceptions = Collections.synchronizedList(new ArrayList<Exception>());
+        this.tool = scanResult.getTool();
+        this.lang = scanResult.getLang().toString();
+        this.repo = scanResult.getRepo().toString();
+        this.bugAuditLabel = scanResult.getBugAuditLabel();
+        this.keys = new ArrayList<>(scanResult.getKeys());
+        this.plan = plan;
         this.config = BugAuditConfig.getConfig();
+        this.identifiedCount = scanResult.getBugs().size();
+        this.pendingBugs = new ArrayDeque<>();
+        this.bugKeyIndex = BugKeyIndex.of(scanResult.getBugs());
+        BugAuditSuppressions suppressions = config.getSuppressions();
+        Map<String, String> pool = new HashMap<>();
+        for (Bug bug : scanResult.getBugs()) {
+            if (suppressions == null || !suppressions.isSuppressed(bug, tool, repo, lang)) {
+                pendingBugs.add(CompactBug.of(bug, pool));
+            }
+        }
+        this.suppressedCount = identifiedCount - pendingBugs.size();
         this.tracker = getContextTracker();
     }
 
-    private BugAuditTracker getContextTracker() {
+    static BugAuditTracker getContextTracker(BugAuditConfig config, Collection<String> keys,
+                                             String lang, String tool, String repo) {
         List<String> projects = new ArrayList<>();
         projects.add(config.getProject());
         BatSearchQuery query = new BatSearchQuery();
-        for (String key : scanResult.getKeys()) {
+        for (String key : keys) {
             query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, key);
         }
-        query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getLang().toString());
-        query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getTool());
-        query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getRepo().toString());
+        query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, lang);
+        query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, tool);
+        query.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, repo);
         return BugAuditTracker.getTracker(config.getPriorityMap(), query, projects);
     }
 
-    private void createBatIssueForBug(Bug bug) throws BugAuditException {
+    private BugAuditTracker getContextTracker() {
+        return getContextTracker(config, keys, lang, tool, repo);
+    }
+
+    private boolean isPlanning() {
+        return scanPlan != null;
+    }
+
+    private BatIssue createIssue(BugAuditPlan.Action action) throws BugAuditException {
+        if (isPlanning()) {
+            scanPlan.add(action);
+            return null;
+        }
+        return tracker.createIssue(action.toBatIssueFactory(config));
+    }
+
+    private BatIssue updateIssue(BatIssue batIssue, BugAuditPlan.Action action) throws BugAuditException {
+        if (isPlanning()) {
+            scanPlan.add(action);
+            return batIssue;
+        }
+        return tracker.updateIssue(batIssue, action.toBatIssueFactory(config));
+    }
+
+    private void addComment(BatIssue batIssue, String comment, Collection<String> lookupKeys)
+            throws BugAuditException {
+        if (isPlanning()) {
+            batIssue.refresh();
+            scanPlan.add(BugAuditPlan.Action.comment(batIssue, comment, batIssue.getComments().size(), lookupKeys));
+            return;
+        }
+        batIssue.addComment(new BugAuditContent(comment));
+    }
+
+    private void createBatIssueForBug(CompactBug bug) throws BugAuditException {
         Set<String> labels = new HashSet<>();
-        labels.add(scanResult.getTool());
-        labels.add(scanResult.getBugAuditLabel());
-        labels.add(scanResult.getLang().toString());
-        labels.add(scanResult.getRepo().toString());
-        labels.add(scanResult.getTool());
-        labels.addAll(scanResult.getKeys());
+        labels.add(tool);
+        labels.add(bugAuditLabel);
+        labels.add(lang);
+        labels.add(repo);
+        labels.add(tool);
+        labels.addAll(keys);
         labels.addAll(bug.getTags());
-        BatIssueFactory batIssueFactory = new BatIssueFactory();
-        batIssueFactory.setProject(config.getProject());
-        batIssueFactory.setTitle(bug.getTitle());
-        batIssueFactory.setIssueType(config.getIssueType());
-        batIssueFactory.setAssignee(config.getUsers().getAssignee());
-        batIssueFactory.setSubscribers(config.getUsers().getSubscribers());
-        batIssueFactory.setPriority(bug.getPriority());
-        batIssueFactory.setDescription(bug.getDescription());
-        batIssueFactory.setLabels(new ArrayList<>(labels));
-        batIssueFactory.setCustomFields(config.getCustomFields());
-        BatIssue batIssue = tracker.createIssue(batIssueFactory);
+        BugAuditPlan.Action action = BugAuditPlan.Action.create(bug.getKeys());
+        action.setTitle(bug.getTitle());
+        action.setAssignee(config.getUsers().getAssignee());
+        action.setSubscribers(config.getUsers().getSubscribers());
+        action.setPriority(bug.getPriority());
+        action.setDescription(bug.getDescription());
+        action.setLabels(new ArrayList<>(labels));
+        BatIssue batIssue = createIssue(action);
+        if (batIssue == null) {
+            System.out.println("Planned new issue: " + bug.getTitle() + " with priority "
+                    + tracker.getPriorityName(bug.getPriority()));
+            return;
+        }
         System.out.println("Created new issue: " + batIssue.getKey() + " - " + batIssue.getTitle() + " with priority "
                 + batIssue.getPriority().getName());
     }
@@ -73,25 +137,26 @@ final class BugAuditWorker {
         return false;
     }
 
-    private void updateBatIssueForBug(BatIssue batIssue, Bug bug) throws BugAuditException {
+    private void updateBatIssueForBug(BatIssue batIssue, CompactBug bug) throws BugAuditException {
         if (config.isIssueIgnorable(batIssue)) {
             System.out.println("Ignoring the issue: " + batIssue.getKey());
         }
         boolean issueUpdated = false;
-        BatIssueFactory batIssueFactory = new BatIssueFactory();
-        batIssueFactory.setProject(config.getProject());
+        BugAuditPlan.Action action = BugAuditPlan.Action.update(batIssue, bug.getKeys());
         if (batIssue.getAssignee() == null && config.getUsers().getAssignee() != null) {
-            batIssueFactory.setAssignee(config.getUsers().getAssignee());
+            action.setAssignee(config.getUsers().getAssignee());
             issueUpdated = true;
         }
         if (config.isSummaryUpdateAllowed() && !batIssue.getTitle().contentEquals(bug.getTitle())) {
-            batIssueFactory.setTitle(bug.getTitle());
+            action.setTitle(bug.getTitle());
             issueUpdated = true;
         }
-        if (config.isDescriptionUpdateAllowed() &&
-                !tracker.areContentsMatching(bug.getDescription(), batIssue.getDescription())) {
-            batIssueFactory.setDescription(bug.getDescription());
-            issueUpdated = true;
+        if (config.isDescriptionUpdateAllowed()) {
+            BugAuditContent description = bug.getDescription();
+            if (!tracker.areContentsMatching(description, batIssue.getDescription())) {
+                action.setDescription(description);
+                issueUpdated = true;
+            }
         }
         if (config.isLabelUpdateAllowed()) {
             Set<String> updateSet = new HashSet<>(batIssue.getLabels());
@@ -101,31 +166,31 @@ final class BugAuditWorker {
                 }
             }
             if (updateSet.size() != batIssue.getLabels().size()) {
-                batIssueFactory.setLabels(new ArrayList<>(updateSet));
+                action.setLabels(new ArrayList<>(updateSet));
                 issueUpdated = true;
             }
         }
         StringBuilder comment = new StringBuilder();
         if (((batIssue.getPriority().getValue() < bug.getPriority()) && (config.isReprioritizeAllowed()))
                 || ((batIssue.getPriority().getValue() > bug.getPriority()) && (config.isDeprioritizeAllowed()))) {
-            batIssueFactory.setPriority(bug.getPriority());
+            action.setPriority(bug.getPriority());
             System.out.println("Prioritizing " + batIssue.getKey() + " to " + tracker.getPriorityName(bug.getPriority()) + " based on actual priority.");
             comment.append("Prioritizing to **").append(tracker.getPriorityName(bug.getPriority())).append("** based on actual priority.");
             issueUpdated = true;
         } else if ((batIssue.getPriority().getValue() > bug.getPriority()) && (config.isDeprioritizeAllowed())) {
-            batIssueFactory.setPriority(bug.getPriority());
+            action.setPriority(bug.getPriority());
             System.out.println("Reducing priority " + batIssue.getKey() + " to " + tracker.getPriorityName(bug.getPriority()) + " based on actual priority.");
             comment.append("Reducing priority to **").append(tracker.getPriorityName(bug.getPriority())).append("** based on actual priority.");
             issueUpdated = true;
         }
         if (issueUpdated) {
-            batIssue = tracker.updateIssue(batIssue, batIssueFactory);
+            batIssue = updateIssue(batIssue, action);
             if (!comment.toString().isEmpty()) {
-                batIssue.addComment(new BugAuditContent(comment.toString()));
+                addComment(batIssue, comment.toString(), bug.getKeys());
             }
         }
         if (config.isOpeningAllowedForStatus(batIssue.getStatus())) {
-            reopenIssue(batIssue);
+            reopenIssue(batIssue, bug.getKeys());
         } else if (issueUpdated) {
             System.out.println("Updated the issue: " + batIssue.getKey() + " - "
                     + batIssue.getTitle());
@@ -135,21 +200,26 @@ final class BugAuditWorker {
         }
     }
 
-    private List<String> toLowerCase(List<String> list) {
-        List<String> lowerCaseList = new ArrayList<>();
-        for (String item : list) {
-            lowerCaseList.add(item.toLowerCase());
-        }
-        return lowerCaseList;
+    private boolean isVulnerabilityExists(BatIssue batIssue) {
+        return bugKeyIndex.isCoveredBy(batIssue.getLabels());
     }
 
-    private boolean isVulnerabilityExists(BatIssue batIssue, List<Bug> bugs) {
-        for (Bug bug : bugs) {
-            if (toLowerCase(batIssue.getLabels()).containsAll(toLowerCase(new ArrayList<>(bug.getKeys())))) {
-                return true;
+    private List<String> getLookupKeys(BatIssue batIssue) {
+        Set<String> scanLabels = new HashSet<>();
+        for (String key : keys) {
+            scanLabels.add(key.toLowerCase());
+        }
+        scanLabels.add(repo.toLowerCase());
+        scanLabels.add(lang.toLowerCase());
+        scanLabels.add(bugAuditLabel.toLowerCase());
+        scanLabels.add(tool.toLowerCase());
+        List<String> lookupKeys = new ArrayList<>();
+        for (String label : batIssue.getLabels()) {
+            if (!scanLabels.contains(label.toLowerCase())) {
+                lookupKeys.add(label);
             }
         }
-        return false;
+        return lookupKeys;
     }
 
     private boolean closeIssue(BatIssue issue) throws BugAuditException {
@@ -158,12 +228,13 @@ final class BugAuditWorker {
             return false;
         }
         System.out.println("Issue: " + issue.getKey() + " has been fixed.");
+        List<String> lookupKeys = getLookupKeys(issue);
         boolean transitioned = false;
         String originalStatus = issue.getStatus();
         if (config.toClose().isStatusTransferable()) {
             List<String> transitions = config.getTransitionsToClose(issue.getStatus());
             System.out.println("Closing the issue " + issue.getKey() + ".");
-            transitioned = transitionIssue(transitions, issue);
+            transitioned = transitionIssue(transitions, issue, lookupKeys);
             if (!transitioned) {
                 System.out.println("No path defined to Close the issue from \"" + issue.getStatus() + "\" state.");
             }
@@ -185,19 +256,19 @@ final class BugAuditWorker {
             comment.append(BugAuditConfig.closingNotificationComment);
         }
         if (!comment.toString().isEmpty()) {
-            issue.addComment(new BugAuditContent(comment.toString()));
+            addComment(issue, comment.toString(), lookupKeys);
             return true;
         }
         return transitioned;
     }
 
-    private void reopenIssue(BatIssue issue) throws BugAuditException {
+    private void reopenIssue(BatIssue issue, Collection<String> lookupKeys) throws BugAuditException {
         System.out.println("Issue: " + issue.getKey() + " was resolved, but not actually fixed.");
         boolean transitioned = false;
         if (config.toOpen().isStatusTransferable()) {
             List<String> transitions = config.getTransitionsToOpen(issue.getStatus());
             System.out.println("Reopening the issue " + issue.getKey() + ":");
-            transitioned = transitionIssue(transitions, issue);
+            transitioned = transitionIssue(transitions, issue, lookupKeys);
             if (!transitioned) {
                 System.out.println("No path defined to Open the issue from \"" + issue.getStatus() + "\" state.");
             }
@@ -216,11 +287,20 @@ final class BugAuditWorker {
             comment.append(BugAuditConfig.reopeningNotificationComment);
         }
         if (!comment.toString().isEmpty()) {
-            issue.addComment(new BugAuditContent(comment.toString()));
+            addComment(issue, comment.toString(), lookupKeys);
         }
     }
 
-    private boolean transitionIssue(List<String> transitions, BatIssue issue) {
+    static void transitionIssue(BugAuditTracker tracker, BatIssue issue, List<String> transitions)
+            throws BugAuditException {
+        for (int i = 1; i < transitions.size(); i++) {
+            BatIssueFactory moveStatus = new BatIssueFactory();
+            moveStatus.setStatus(transitions.get(i));
+            tracker.updateIssue(issue, moveStatus);
+        }
+    }
+
+    private boolean transitionIssue(List<String> transitions, BatIssue issue, Collection<String> lookupKeys) {
         try {
             if (transitions.size() > 1) {
                 StringBuilder consoleLog = new StringBuilder();
@@ -228,9 +308,12 @@ final class BugAuditWorker {
                         .append(issue.getKey()).append(": ").append(transitions.get(0));
                 for (int i = 1; i < transitions.size(); i++) {
                     consoleLog.append(" -> ").append(transitions.get(i));
-                    BatIssueFactory moveStatus = new BatIssueFactory();
-                    moveStatus.setStatus(transitions.get(i));
-                    tracker.updateIssue(issue, moveStatus);
+                }
+                if (isPlanning()) {
+                    scanPlan.add(BugAuditPlan.Action.transition(issue, transitions, lookupKeys));
+                    consoleLog.insert(0, "[PLANNED] ");
+                } else {
+                    transitionIssue(tracker, issue, transitions);
                 }
                 System.out.println(consoleLog.toString());
                 return true;
@@ -241,16 +324,9 @@ final class BugAuditWorker {
         return false;
     }
 
-    private void processBug(Bug bug, BugAuditScanResult result) throws BugAuditException {
-        BatSearchQuery searchQuery = new BatSearchQuery(BatSearchQuery.Condition.type, BatSearchQuery.Operator.matching, config.getIssueType());
-        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, result.getRepo().toString());
-        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, result.getLang().toString());
-        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, result.getBugAuditLabel());
-        searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, result.getTool());
-        for (String key : bug.getKeys()) {
-            searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, key);
-        }
-        List<BatIssue> batIssues = tracker.searchBatIssues(config.getProject(), searchQuery);
+    private void processBug(CompactBug bug) throws BugAuditException {
+        List<BatIssue> batIssues = BatIssueLookup.search(tracker, config, repo, lang, bugAuditLabel, tool,
+                bug.getKeys());
         if (batIssues.size() == 0) {
             createBatIssueForBug(bug);
         } else if (batIssues.size() == 1) {
@@ -269,9 +345,9 @@ final class BugAuditWorker {
 
     private void processIdentifiedBugs() {
         System.out.println("\nProcessing scanned results...");
-        for (Bug bug : scanResult.getBugs()) {
+        while (!pendingBugs.isEmpty()) {
             try {
-                processBug(bug, scanResult);
+                processBug(pendingBugs.poll());
             } catch (BugAuditException e) {
                 e.printStackTrace();
                 exceptions.add(e);
@@ -282,44 +358,84 @@ final class BugAuditWorker {
     private void verifyExistingNonClosedIssues() throws BugAuditException {
         if (config.isClosingAllowed()) {
             System.out.println("\nVerifying if any existing issues are fixed...");
-            BatSearchQuery searchQuery = new BatSearchQuery(BatSearchQuery.Condition.type, BatSearchQuery.Operator.matching, config.getIssueType());
-            searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getRepo().toString());
-            searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getTool());
-            searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getBugAuditLabel());
-            searchQuery.add(BatSearchQuery.Condition.label, BatSearchQuery.Operator.matching, scanResult.getLang().toString());
+            BatSearchQuery searchQuery = BatIssueLookup.getContextQuery(config, repo, lang, bugAuditLabel, tool);
             searchQuery.add(BatSearchQuery.Condition.status, BatSearchQuery.Operator.not_matching, config.getClosedStatuses());
-            List<BatIssue> batIssues = tracker.searchBatIssues(config.getProject(), searchQuery);
-            int count = 0;
-            for (BatIssue batIssue : batIssues) {
-                try {
-                    if (!isVulnerabilityExists(batIssue, scanResult.getBugs())) {
-                        count++;
-                        if (!closeIssue(batIssue)) {
-                            System.out.println(batIssue.getKey() + ": No action taken now.");
-                        }
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    exceptions.add(e);
+            List<BatIssue> fixedIssues = new ArrayList<>();
+            for (BatIssue batIssue : tracker.searchBatIssues(config.getProject(), searchQuery)) {
+                if (!isVulnerabilityExists(batIssue)) {
+                    fixedIssues.add(batIssue);
                 }
             }
-            if (count == 0) {
+            if (fixedIssues.size() == 0) {
                 System.out.println("No relevant issues found to resolve/close.");
+            } else {
+                closeIssues(fixedIssues);
+            }
+        }
+    }
+
+    private void closeFixedIssue(BatIssue batIssue) {
+        try {
+            if (!closeIssue(batIssue)) {
+                System.out.println(batIssue.getKey() + ": No action taken now.");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            exceptions.add(e);
+        }
+    }
+
+    private void closeIssues(List<BatIssue> fixedIssues) {
+        if (config.getTrackerConcurrency() == 1) {
+            for (BatIssue batIssue : fixedIssues) {
+                closeFixedIssue(batIssue);
             }
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (final BatIssue batIssue : fixedIssues) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    closeFixedIssue(batIssue);
+                    return null;
+                }
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(config.getTrackerConcurrency(), tasks.size()));
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exceptions.add(e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
-    void processResult() throws BugAuditException {
-        System.out.println("Issues Identified (" + scanResult.getTool() + "): " + scanResult.getBugs().size());
-        processIdentifiedBugs();
-        verifyExistingNonClosedIssues();
+    void processResult() throws BugAuditException, IOException {
+        System.out.println("Issues Identified (" + tool + "): " + identifiedCount);
+        if (suppressedCount > 0) {
+            System.out.println("Issues Suppressed (" + tool + "): " + suppressedCount);
+        }
+        if (plan != null) {
+            scanPlan = plan.beginScanPlan(tool, lang, repo, bugAuditLabel, keys);
+        }
+        try {
+            processIdentifiedBugs();
+            verifyExistingNonClosedIssues();
+        } finally {
+            if (scanPlan != null) {
+                plan.endScanPlan();
+            }
+        }
     }
 
     List<Exception> getExceptions() {
         return exceptions;
     }
 
-    final class ProcessedCount {
+    static final class ProcessedCount {
         private int created;
         private int updated;
         private int commented;
@@ -0,0 +1,74 @@
+package me.shib.bugaudit;
+
+import me.shib.bugaudit.scanner.Bug;
+
+import java.util.*;
+
+final class BugKeyIndex {
+
+    private Map<String, Set<List<String>>> keySetsByFirstKey;
+    private boolean emptyKeySetIndexed;
+
+    private BugKeyIndex() {
+        this.keySetsByFirstKey = new HashMap<>();
+        this.emptyKeySetIndexed = false;
+    }
+
+    static BugKeyIndex of(Collection<Bug> bugs) {
+        BugKeyIndex bugKeyIndex = new BugKeyIndex();
+        Map<String, String> pool = new HashMap<>();
+        for (Bug bug : bugs) {
+            bugKeyIndex.add(bug.getKeys(), pool);
+        }
+        return bugKeyIndex;
+    }
+
+    private static String intern(String value, Map<String, String> pool) {
+        String lowerCaseValue = value.toLowerCase();
+        String pooled = pool.get(lowerCaseValue);
+        if (pooled == null) {
+            pool.put(lowerCaseValue, lowerCaseValue);
+            pooled = lowerCaseValue;
+        }
+        return pooled;
+    }
+
+    private void add(Collection<String> keys, Map<String, String> pool) {
+        if (keys == null || keys.isEmpty()) {
+            emptyKeySetIndexed = true;
+            return;
+        }
+        Set<String> sortedKeys = new TreeSet<>();
+        for (String key : keys) {
+            sortedKeys.add(intern(key, pool));
+        }
+        List<String> keySet = Arrays.asList(sortedKeys.toArray(new String[0]));
+        Set<List<String>> keySets = keySetsByFirstKey.get(keySet.get(0));
+        if (keySets == null) {
+            keySets = new HashSet<>();
+            keySetsByFirstKey.put(keySet.get(0), keySets);
+        }
+        keySets.add(keySet);
+    }
+
+    boolean isCoveredBy(List<String> labels) {
+        if (emptyKeySetIndexed) {
+            return true;
+        }
+        Set<String> lowerCaseLabels = new HashSet<>();
+        for (String label : labels) {
+            lowerCaseLabels.add(label.toLowerCase());
+        }
+        for (String label : lowerCaseLabels) {
+            Set<List<String>> keySets = keySetsByFirstKey.get(label);
+            if (keySets != null) {
+                for (List<String> keySet : keySets) {
+                    if (lowerCaseLabels.containsAll(keySet)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package me.shib.bugaudit;
+
+import me.shib.bugaudit.commons.BugAuditContent;
+import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.scanner.Bug;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+final class CompactBug {
+
+    private String title;
+    private int priority;
+    private List<String> keys;
+    private List<String> tags;
+    private byte[] description;
+
+    private CompactBug() {
+    }
+
+    static CompactBug of(Bug bug, Map<String, String> pool) throws IOException {
+        CompactBug compactBug = new CompactBug();
+        compactBug.title = bug.getTitle();
+        compactBug.priority = bug.getPriority();
+        compactBug.keys = intern(bug.getKeys(), pool);
+        compactBug.tags = intern(bug.getTags(), pool);
+        if (bug.getDescription() != null) {
+            compactBug.description = compress(bug.getDescription().getMarkdownContent());
+        }
+        return compactBug;
+    }
+
+    private static List<String> intern(Collection<String> values, Map<String, String> pool) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] interned = new String[values.size()];
+        int i = 0;
+        for (String value : values) {
+            String pooled = pool.get(value);
+            if (pooled == null) {
+                pool.put(value, value);
+                pooled = value;
+            }
+            interned[i++] = pooled;
+        }
+        return Collections.unmodifiableList(Arrays.asList(interned));
+    }
+
+    private static byte[] compress(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+        try {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            gzip.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String decompress(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(content));
+        try {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = gzip.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+        } finally {
+            gzip.close();
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+
+    List<String> getKeys() {
+        return keys;
+    }
+
+    List<String> getTags() {
+        return tags;
+    }
+
+    BugAuditContent getDescription() throws BugAuditException {
+        if (description == null) {
+            return null;
+        }
+        try {
+            return new BugAuditContent(decompress(description));
+        } catch (IOException e) {
+            throw new BugAuditException("Unable to read the description of " + title + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package me.shib.bugaudit;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public final class BugAuditConfigBinding {
+
+    static final String gsonBinding = "gson";
+    static final String streamingBinding = "streaming";
+
+    public static void main(String[] args) throws IOException {
+        String configJson = new String(Files.readAllBytes(Paths.get(System.getenv("BUGAUDIT_CONFIG"))),
+                StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        BugAuditConfig config;
+        if (args.length > 0 && args[0].equals(gsonBinding)) {
+            config = new GsonBuilder().create().fromJson(configJson, BugAuditConfig.class);
+        } else {
+            config = BugAuditConfig.fromJson(configJson);
+        }
+        long elapsed = (System.nanoTime() - start) / 1000;
+        if (config == null) {
+            throw new IOException("Config binding returned nothing");
+        }
+        System.out.println(elapsed);
+    }
+
+}
@@ -0,0 +1,34 @@
+package me.shib.bugaudit;
+
+import me.shib.bugaudit.commons.BugAuditException;
+import me.shib.bugaudit.scanner.BugAuditScanner;
+import me.shib.bugaudit.scanner.GitRepo;
+import me.shib.bugaudit.scanner.Lang;
+
+import java.io.File;
+import java.io.IOException;
+
+public final class BugAuditStartup {
+
+    public static void main(String[] args) throws BugAuditException, IOException {
+        BugAuditConfig.getConfig();
+        Lang lang = GitRepo.getRepo().getLang();
+        if (lang == null) {
+            System.out.println("Unable to identify the programming language, skipping scanners.");
+            return;
+        }
+        for (BugAuditScanner scanner : BugAuditScanner.getScanners(lang)) {
+            System.out.println("Loaded scanner: " + scanner.getTool());
+        }
+        File planFile = File.createTempFile("bugaudit-plan", ".json");
+        try {
+            new BugAuditPlan(planFile).close();
+            BugAuditPlan.Reader planReader = new BugAuditPlan.Reader(planFile);
+            planReader.next();
+            planReader.close();
+        } finally {
+            planFile.delete();
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package me.shib.bugaudit;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.*;
+
+public final class BugAuditStartupBenchmark {
+
+    private static final String coreJar = "bugaudit-core.jar";
+    private static final String harnessJar = "bugaudit-core-appcds.jar";
+    private static final String archiveFile = "bugaudit-core.jsa";
+    private static final String logFile = "startup.log";
+    private static final String classpathProperty = "appcds.classpath";
+    private static final String mainClassProperty = "appcds.mainClass";
+    private static final int defaultRuns = 5;
+
+    private final String harnessClasspath;
+    private final String classpath;
+    private final String mainClass;
+    private final File log;
+
+    private BugAuditStartupBenchmark(String appcdsDir) {
+        this.harnessClasspath = buildClasspath(appcdsDir);
+        String classpath = System.getProperty(classpathProperty);
+        this.classpath = classpath == null || classpath.isEmpty() ? harnessClasspath : classpath;
+        String mainClass = System.getProperty(mainClassProperty);
+        this.mainClass = mainClass == null || mainClass.isEmpty() ? BugAuditStartup.class.getName() : mainClass;
+        this.log = new File(appcdsDir, logFile);
+    }
+
+    private static String buildClasspath(String appcdsDir) {
+        List<String> entries = new ArrayList<>();
+        entries.add(appcdsDir + "/" + coreJar);
+        String[] libs = new File(appcdsDir, "lib").list();
+        if (libs != null) {
+            Arrays.sort(libs);
+            for (String lib : libs) {
+                if (lib.endsWith(".jar")) {
+                    entries.add(appcdsDir + "/lib/" + lib);
+                }
+            }
+        }
+        entries.add(appcdsDir + "/" + harnessJar);
+        StringBuilder classpath = new StringBuilder();
+        for (String entry : entries) {
+            if (classpath.length() > 0) {
+                classpath.append(File.pathSeparator);
+            }
+            classpath.append(entry);
+        }
+        return classpath.toString();
+    }
+
+    private ProcessBuilder processBuilder(String classpath, List<String> jvmOptions, String mainClass,
+                                          String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(mainClass);
+        command.addAll(Arrays.asList(args));
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.redirectError(ProcessBuilder.Redirect.appendTo(log));
+        processBuilder.redirectOutput(ProcessBuilder.Redirect.appendTo(log));
+        return processBuilder;
+    }
+
+    private void waitFor(Process process) throws IOException, InterruptedException {
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IOException("Benchmark run failed with exit code " + exitCode + ", see " + log.getPath());
+        }
+    }
+
+    private long run(String... jvmOptions) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        waitFor(processBuilder(classpath, Arrays.asList(jvmOptions), mainClass).start());
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    private long bind(String binding) throws IOException, InterruptedException {
+        ProcessBuilder processBuilder = processBuilder(harnessClasspath, Collections.<String>emptyList(),
+                BugAuditConfigBinding.class.getName(), binding);
+        processBuilder.redirectOutput(ProcessBuilder.Redirect.PIPE);
+        Process process = processBuilder.start();
+        String elapsed = null;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                elapsed = line.trim();
+            }
+        } finally {
+            reader.close();
+        }
+        waitFor(process);
+        if (elapsed == null) {
+            throw new IOException("Config binding run (" + binding + ") printed no timing");
+        }
+        return Long.parseLong(elapsed);
+    }
+
+    private List<Long> measure(int runs, String... jvmOptions) throws IOException, InterruptedException {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            samples.add(run(jvmOptions));
+        }
+        return samples;
+    }
+
+    private List<Long> measureBinding(int runs, String binding) throws IOException, InterruptedException {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            samples.add(bind(binding));
+        }
+        return samples;
+    }
+
+    private static long median(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static void print(String label, String mode, List<Long> samples, String unit) {
+        System.out.println("[" + label + "] " + mode + ": median " + median(samples) + " " + unit + ", min "
+                + Collections.min(samples) + " " + unit + ", samples " + samples + " " + unit);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String appcdsDir = args.length > 0 ? args[0] : "target/appcds";
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : defaultRuns;
+        BugAuditStartupBenchmark benchmark = new BugAuditStartupBenchmark(appcdsDir);
+        String archive = appcdsDir + "/" + archiveFile;
+        List<Long> gsonBinding = benchmark.measureBinding(runs, BugAuditConfigBinding.gsonBinding);
+        List<Long> streamingBinding = benchmark.measureBinding(runs, BugAuditConfigBinding.streamingBinding);
+        List<Long> withoutArchive = benchmark.measure(runs);
+        benchmark.run("-XX:ArchiveClassesAtExit=" + archive);
+        List<Long> withArchive = benchmark.measure(runs, "-XX:SharedArchiveFile=" + archive, "-Xshare:on");
+        print("BINDING", "Gson reflection", gsonBinding, "us");
+        print("BINDING", "Streaming reader", streamingBinding, "us");
+        print("STARTUP", "Without AppCDS", withoutArchive, "ms");
+        print("STARTUP", "With AppCDS", withArchive, "ms");
+        System.out.println("[STARTUP] " + archive + " was dumped from " + benchmark.mainClass
+                + " and only maps into a JVM whose -cp starts with: " + benchmark.classpath);
+    }
+
+}